@@ -13,10 +13,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.apache.lucene.index.IndexableField;
 import org.apache.lucene.queries.function.ValueSource;
-import org.apache.lucene.search.FieldComparator;
-import org.apache.lucene.search.FieldComparatorSource;
+import org.apache.lucene.queries.function.valuesource.SortedSetFieldSource;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.SortedNumericSelector;
+import org.apache.lucene.search.SortedSetSelector;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.BytesRefBuilder;
 import org.apache.solr.common.SolrException;
@@ -40,6 +41,8 @@ import org.apache.lucene.document.StoredField;
  * will work as expected; but the field cannot be rendred afterwards - "string":
  * it will be possible to retrieve the fineld's docValues. But sorting will be
  * based on string representation: 192.168.1.10 will come before 192.168.1.2
+ * multiValued fields with docValues sort on their min (asc) or max (desc)
+ * value, or on field(name,min) / field(name,max)
  */
 
 public class InetAddressType extends PointField {
@@ -412,37 +415,76 @@ public class InetAddressType extends PointField {
 	 * 
 	 * @see org.apache.solr.schema.FieldType#getSortField(org.apache.solr.schema.
 	 * SchemaField, boolean) REQUIRED This will be called whenever we sort on this
-	 * field to retrieve the SortField to use
+	 * field to retrieve the SortField to use. Single valued fields sort on the
+	 * SORTED docValues; multiValued fields sort on the SORTED_SET docValues using
+	 * the selector returned by getDefaultMultiValueSelectorForSort. In both cases
+	 * sortMissingFirst/sortMissingLast are honoured.
 	 */
 	@Override
 	public SortField getSortField(final SchemaField field, final boolean reverse) {
-		field.checkSortability();
-		return new BinarySortField(field.getName(), reverse);
+		return getStringSort(field, reverse);
 	}
 
-	private static class BinarySortField extends SortField {
-		public BinarySortField(final String field, final boolean reverse) {
-			super(field, new FieldComparatorSource() {
-				@Override
-				public FieldComparator.TermOrdValComparator newComparator(final String fieldname,
-						final int numHits, final int sortPos, final boolean reversed) {
-					return new FieldComparator.TermOrdValComparator(numHits, fieldname);
-				}
-			}, reverse);
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.apache.solr.schema.FieldType#getDefaultMultiValueSelectorForSort(
+	 * org.apache.solr.schema.SchemaField, boolean) "sort=field asc" on a
+	 * multiValued field sorts on the lowest address, "desc" on the highest one.
+	 * Only available with docValues: we don't want to uninvert the field.
+	 */
+	@Override
+	public MultiValueSelector getDefaultMultiValueSelectorForSort(SchemaField field, boolean reverse) {
+		if (!field.hasDocValues()) {
+			return null;
 		}
+		return reverse ? MultiValueSelector.MAX : MultiValueSelector.MIN;
 	}
 
-	// **********************************************************************************
-	// Stubs there to see IF they get called at any point and if we need to override
-	// them
-	// **********************************************************************************
-	// TODO: Note: still unclear what getSingleValueSource should return. Unclear as
-	// what getValueSource should return at all...
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.apache.solr.schema.PointField#getSingleValueSource(org.apache.lucene.
+	 * search.SortedNumericSelector.Type, org.apache.solr.schema.SchemaField) Called
+	 * by PointField.getSingleValueSource(MultiValueSelector, ...) for field(x,min)
+	 * and field(x,max) on a multiValued field with docValues. PointField hands us a
+	 * SortedNumericSelector, but our docValues are SORTED_SET: translate it into
+	 * the matching SortedSetSelector.
+	 */
 	@Override
-	protected ValueSource getSingleValueSource(org.apache.lucene.search.SortedNumericSelector.Type choice,
-			SchemaField field) {
+	protected ValueSource getSingleValueSource(SortedNumericSelector.Type choice, SchemaField field) {
 		log.debug("getSingleValueSource: " + choice + "; " + field);
-		// TODO What should we return ?
-		return null;
+		SortedSetSelector.Type selector;
+		switch (choice) {
+		case MIN:
+			selector = SortedSetSelector.Type.MIN;
+			break;
+		case MAX:
+			selector = SortedSetSelector.Type.MAX;
+			break;
+		default:
+			throw new SolrException(SolrException.ErrorCode.BAD_REQUEST,
+					choice + " is not a supported option for picking a single value from the multivalued field: "
+							+ field.getName() + " (type: " + getTypeName() + ")");
+		}
+		return new InetAddressSortedSetFieldSource(field, selector);
+	}
+
+	/*
+	 * SortedSetFieldSource sorting with sortMissingFirst/sortMissingLast taken from
+	 * the SchemaField, so that "sort=field(x,min) asc" behaves like "sort=x asc"
+	 */
+	private static class InetAddressSortedSetFieldSource extends SortedSetFieldSource {
+		private final SchemaField schemaField;
+
+		public InetAddressSortedSetFieldSource(final SchemaField schemaField, final SortedSetSelector.Type selector) {
+			super(schemaField.getName(), selector);
+			this.schemaField = schemaField;
+		}
+
+		@Override
+		public SortField getSortField(final boolean reverse) {
+			return getSortedSetSortField(schemaField, selector, reverse, SortField.STRING_FIRST, SortField.STRING_LAST);
+		}
 	}
 }
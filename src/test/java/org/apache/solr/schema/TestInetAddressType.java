@@ -64,6 +64,7 @@ public class TestInetAddressType extends SolrTestCaseJ4 {
 
 	String field_str = new String("ip_address_str");
 	String field_bin = new String("ip_address_bin");
+	String field_bins = new String("ip_address_bins");
 
 	@SuppressWarnings("unchecked")
 	@BeforeClass
@@ -99,13 +100,24 @@ public class TestInetAddressType extends SolrTestCaseJ4 {
 								"stored", "true",
 								"multiValued", "false",
 								"storedDocValue", "binary"
+								)),
+						schema.newFieldType("ip_address_bins", "eu.horizon42.InetAddressType",map(
+								"name", "ip_address_bins",
+								"class","solr.InetAddressType",
+								"docValues", "true",
+								"indexed", "true",
+								"stored", "true",
+								"multiValued", "true",
+								"sortMissingLast", "true",
+								"storedDocValue", "binary"
 								))
 						),PERSIST_FALSE);
 
 		schema = schema.addFields(
 				Arrays.asList(
 						schema.newField("ip_address_str", "ip_address_str", map()),
-						schema.newField("ip_address_bin", "ip_address_bin", map())
+						schema.newField("ip_address_bin", "ip_address_bin", map()),
+						schema.newField("ip_address_bins", "ip_address_bins", map())
 						),
 				Collections.emptyMap(),
 				PERSIST_FALSE);
@@ -211,4 +223,81 @@ public class TestInetAddressType extends SolrTestCaseJ4 {
 		}
 
 	}
-}
+
+	private void addMultiValuedDocuments() {
+		// min / max per document:
+		// m1: 10.0.0.5 / 192.168.1.1
+		// m2: 10.0.0.3 / 10.0.0.20
+		// m3: 172.16.0.1 / 172.16.0.1
+		// m4: no value
+		assertU(adoc("id", "m1", field_bins, "192.168.1.1", field_bins, "10.0.0.5"));
+		assertU(adoc("id", "m2", field_bins, "10.0.0.20", field_bins, "10.0.0.3"));
+		assertU(adoc("id", "m3", field_bins, "172.16.0.1"));
+		assertU(adoc("id", "m4"));
+		assertU("commit",commit());
+	}
+
+	@Test
+	public void testSortMultiValuedBinaryValues() throws Exception {
+		addMultiValuedDocuments();
+		// asc sorts on the lowest address of each document, missing values last
+		{
+			SolrQueryRequest query = req("q", "*:*", "fl", "id", "sort", field_bins + " asc");
+			assertQ("numFound", query,
+					"//*[@numFound='4']",
+					"//result/doc[1]/str[@name='id'][.='m2']",
+					"//result/doc[2]/str[@name='id'][.='m1']",
+					"//result/doc[3]/str[@name='id'][.='m3']",
+					"//result/doc[4]/str[@name='id'][.='m4']"
+					);
+		}
+		// desc sorts on the highest address of each document, missing values still last
+		{
+			SolrQueryRequest query = req("q", "*:*", "fl", "id", "sort", field_bins + " desc");
+			assertQ("numFound", query,
+					"//*[@numFound='4']",
+					"//result/doc[1]/str[@name='id'][.='m1']",
+					"//result/doc[2]/str[@name='id'][.='m3']",
+					"//result/doc[3]/str[@name='id'][.='m2']",
+					"//result/doc[4]/str[@name='id'][.='m4']"
+					);
+		}
+	}
+
+	@Test
+	public void testSortMultiValuedFieldFunction() throws Exception {
+		addMultiValuedDocuments();
+		{
+			SolrQueryRequest query = req("q", "*:*", "fl", "id", "sort", "field(" + field_bins + ",min) asc");
+			assertQ("numFound", query,
+					"//*[@numFound='4']",
+					"//result/doc[1]/str[@name='id'][.='m2']",
+					"//result/doc[2]/str[@name='id'][.='m1']",
+					"//result/doc[3]/str[@name='id'][.='m3']",
+					"//result/doc[4]/str[@name='id'][.='m4']"
+					);
+		}
+		// max asc: m2 (10.0.0.20) < m3 (172.16.0.1) < m1 (192.168.1.1)
+		{
+			SolrQueryRequest query = req("q", "*:*", "fl", "id", "sort", "field(" + field_bins + ",max) asc");
+			assertQ("numFound", query,
+					"//*[@numFound='4']",
+					"//result/doc[1]/str[@name='id'][.='m2']",
+					"//result/doc[2]/str[@name='id'][.='m3']",
+					"//result/doc[3]/str[@name='id'][.='m1']",
+					"//result/doc[4]/str[@name='id'][.='m4']"
+					);
+		}
+		// min desc: m3 (172.16.0.1) > m1 (10.0.0.5) > m2 (10.0.0.3)
+		{
+			SolrQueryRequest query = req("q", "*:*", "fl", "id", "sort", "field(" + field_bins + ",min) desc");
+			assertQ("numFound", query,
+					"//*[@numFound='4']",
+					"//result/doc[1]/str[@name='id'][.='m3']",
+					"//result/doc[2]/str[@name='id'][.='m1']",
+					"//result/doc[3]/str[@name='id'][.='m2']",
+					"//result/doc[4]/str[@name='id'][.='m4']"
+					);
+		}
+	}
+}
\ No newline at end of file